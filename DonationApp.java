@@ -156,7 +156,7 @@ public class DonationApp extends Application {
         });
 
         customField.textProperty().addListener((o, oldV, newV) -> {
-            currentAmount = parse(newV);
+            currentAmount = DonationFiler.parseAmount(newV);
             double sliderValue = currentAmount;
             if (sliderValue > SLIDERUPPERLIMIT) {
                 sliderValue = SLIDERUPPERLIMIT;
@@ -237,18 +237,14 @@ public class DonationApp extends Application {
     }
 
     private void makeDonation() {
-        double amount = parse(customField.getText());
-        if (amount <= 0) {
+        Donation newDonation = store.donate(nameField.getText(), customField.getText());
+        if (newDonation == null) {
             new Alert(Alert.AlertType.WARNING, "Please enter a valid amount.").showAndWait();
             return;
         }
 
-        String name = nameField.getText().trim();
-        if (name.isBlank()) name = "Anonymous";
-
-        Donation newDonation = new Donation(name, amount);
-
-        store.append(newDonation);
+        String name = newDonation.getName();
+        double amount = newDonation.getAmount();
 
         boolean reachedGoal = (total < GOAL) && (total + amount >= GOAL);
         total += amount;
@@ -340,11 +336,6 @@ public class DonationApp extends Application {
         stage.setScene(homeScene);
     }
 
-    private double parse(String s) {
-        try { return Double.parseDouble(s.trim()); }
-        catch (Exception e) { return 0.0; }
-    }
-
     public static void main(String[] args) {
         launch(args);
     }
@@ -10,6 +10,9 @@
  * Modification History:
  * [29-10-2025] - Original File Developed by Group 7.
  * [3-11-2025] - Refactored from DonationHandler.java by Group 7.
+ * [19-10-2026] - append() is synchronized so threads sharing a filer
+ *                write one at a time. Added donate() and parseAmount(),
+ *                moved out of DonationApp so they run without JavaFX.
  * 
  ****************************************************************
  * Questions/Comments: Please email Said Obaid at sobaid@unb.ca
@@ -43,7 +46,8 @@ class DonationFiler {
     }
 
     // Add a single donation to the file.
-    public void append(Donation d) {
+    // Synchronized so threads sharing this filer write one at a time.
+    public synchronized void append(Donation d) {
         try (FileWriter w = new FileWriter(fileName, true)) { // true = append mode
             w.write(d.toString());
             w.write(System.lineSeparator());
@@ -52,6 +56,29 @@ class DonationFiler {
         }
     }
 
+    // Check and save a donation as typed into the donate screen.
+    // Blank names become "Anonymous". Returns the saved donation, or
+    // null if the amount isn't a number above zero.
+    public Donation donate(String name, String amountText) {
+        double amount = parseAmount(amountText);
+        if (amount <= 0) {
+            return null;
+        }
+
+        name = name == null ? "" : name.trim();
+        if (name.isBlank()) name = "Anonymous";
+
+        Donation d = new Donation(name, amount);
+        append(d);
+        return d;
+    }
+
+    // Turn typed text into an amount, or 0.0 if it isn't a number.
+    static double parseAmount(String s) {
+        try { return Double.parseDouble(s.trim()); }
+        catch (Exception e) { return 0.0; }
+    }
+
     // Read all donations from the file and return them as a list.
     public List<Donation> loadAll() {
         List<Donation> list = new ArrayList<>();
@@ -2,6 +2,7 @@ import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.*;
 import java.nio.file.*;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -67,6 +68,48 @@ class DonationFilerTest {
         assertEquals(2, donations.size());
     }
 
+    @Test
+    @DisplayName("Append - several threads at once")
+    void testConcurrentAppend() throws InterruptedException {
+        int threads = 8;
+        int perThread = 250;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread w = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    filer.append(new Donation("Donor", 2.5));
+                }
+            });
+            workers.add(w);
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+
+        assertEquals(threads * perThread, filer.loadAll().size());
+        assertEquals(threads * perThread * 2.5, filer.sumAll(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Donate - blank name becomes Anonymous")
+    void testDonateBlankName() {
+        Donation d = filer.donate("   ", "12.50");
+        assertNotNull(d);
+        assertEquals("Anonymous", d.getName());
+        assertEquals(12.5, d.getAmount(), 0.001);
+        assertEquals(1, filer.loadAll().size());
+    }
+
+    @Test
+    @DisplayName("Donate - invalid amounts are not saved")
+    void testDonateRejectsInvalidAmount() {
+        assertNull(filer.donate("Alice", "0"));
+        assertNull(filer.donate("Alice", "-5"));
+        assertNull(filer.donate("Alice", "abc"));
+        assertTrue(filer.loadAll().isEmpty());
+    }
+
     private void deleteTestFile() {
         try {
             Files.deleteIfExists(Paths.get(TEST_FILE));
@@ -0,0 +1,361 @@
+/****************************************************************
+ * File Name: DonationSoak.java
+ * Author:  Group 7, University of New Brunswick
+ * Date: 19-10-2026
+ * Description:
+ * Headless load generator and soak test for the donation path.
+ * Calls DonationFiler.donate, the same method behind the Donate
+ * button in DonationApp, from several threads at a fixed rate.
+ * Prints throughput, latency percentiles for the last interval,
+ * heap/GC use and file size as it goes, then the whole-run figures,
+ * and checks that the total saved in the file matches what was
+ * submitted.
+ *
+ * Needs no JavaFX or display. Build and run with:
+ *   javac Donation.java DonationFiler.java DonationSoak.java
+ *   java DonationSoak --threads=4 --rate=200 --duration=3600
+ *
+ * Options (all optional):
+ *   --file=NAME       CSV file to write (default soak_donations.csv)
+ *   --overwrite       allow --file to name a file that already has
+ *                     donations in it; its contents are lost
+ *   --threads=N       number of donor threads (default 4)
+ *   --rate=N          total donations per second, 0 = no limit
+ *                     (default 100)
+ *   --duration=SECS   how long to run (default 60, at most about
+ *                     146 years)
+ *   --report=SECS     seconds between progress lines (default 10)
+ *   --keep            leave the CSV file behind when finished
+ *                     (a file that existed before the run is always kept)
+ *
+ * Exits with status 1 if the saved total or count doesn't match, or
+ * status 2 for bad options, including a --file that already has
+ * donations in it when --overwrite isn't given.
+ ****************************************************************/
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+class DonationSoak {
+
+    // Half the nanoseconds a long can hold, so elapsed-time sums can't overflow.
+    private static final long MAX_DURATION_SECS = Long.MAX_VALUE / 1_000_000_000L / 2;
+
+    private static final String[] NAMES = {
+            "Alice", "Bob", "Carol", "O'Brien-Smith", "", "  "
+    };
+
+    // --- Settings
+    private String fileName = "soak_donations.csv";
+    private int threads = 4;
+    private double rate = 100.0;
+    private long durationSecs = 60;
+    private long reportSecs = 10;
+    private boolean keepFile = false;
+    private boolean overwrite = false;
+
+    // --- Counters shared by the donor threads
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder submittedCents = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    // Swapped for a fresh one at every progress line, so each line shows
+    // only the latencies since the last one.
+    private volatile LatencyHistogram intervalLatencies = new LatencyHistogram();
+
+    private volatile boolean running = true;
+
+    public static void main(String[] args) throws InterruptedException {
+        DonationSoak soak = new DonationSoak();
+        try {
+            soak.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.exit(2);
+        }
+        System.exit(soak.run() ? 0 : 1);
+    }
+
+    private void parseArgs(String[] args) {
+        for (String arg : args) {
+            String key = arg;
+            String value = "";
+            int eq = arg.indexOf('=');
+            if (eq >= 0) {
+                key = arg.substring(0, eq);
+                value = arg.substring(eq + 1);
+            }
+            try {
+                switch (key) {
+                    case "--file": fileName = value; break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    case "--rate": rate = Double.parseDouble(value); break;
+                    case "--duration": durationSecs = Long.parseLong(value); break;
+                    case "--report": reportSecs = Long.parseLong(value); break;
+                    case "--keep": keepFile = true; break;
+                    case "--overwrite": overwrite = true; break;
+                    default: throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad number in option: " + arg);
+            }
+        }
+        if (threads < 1 || durationSecs < 1 || reportSecs < 1) {
+            throw new IllegalArgumentException("threads, duration and report must be at least 1");
+        }
+        if (durationSecs > MAX_DURATION_SECS || reportSecs > MAX_DURATION_SECS) {
+            throw new IllegalArgumentException(
+                    "duration and report can be at most " + MAX_DURATION_SECS + " seconds"
+            );
+        }
+        // Below this each donor would wait longer than the whole run
+        // between donations, so nothing useful would be measured.
+        if (rate < 0 || (rate > 0 && rate < (double) threads / durationSecs)) {
+            throw new IllegalArgumentException(
+                    "rate must be 0 (no limit) or at least threads/duration = "
+                            + ((double) threads / durationSecs)
+            );
+        }
+        File file = new File(fileName);
+        if (file.exists() && file.length() > 0 && !overwrite) {
+            throw new IllegalArgumentException(fileName + " already has donations in it."
+                    + " Pick another --file or pass --overwrite to clear it.");
+        }
+    }
+
+    private boolean run() throws InterruptedException {
+        File file = new File(fileName);
+        boolean existed = file.exists();
+        DonationFiler store = new DonationFiler(fileName);
+        store.clearFile();
+
+        System.out.printf("Soak test: %d threads, %s donations/s, %d s, file %s%n",
+                threads, rate == 0 ? "unlimited" : String.valueOf(rate), durationSecs, fileName);
+
+        long start = System.nanoTime();
+        long duration = TimeUnit.SECONDS.toNanos(durationSecs);
+
+        List<Thread> donors = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final int id = i;
+            Thread t = new Thread(() -> donorLoop(store, id, start), "donor-" + i);
+            t.setDaemon(true);
+            donors.add(t);
+            t.start();
+        }
+
+        long lastAttempts = 0;
+        long lastAccepted = 0;
+        long lastTime = start;
+        while (System.nanoTime() - start < duration) {
+            long wait = Math.min(TimeUnit.SECONDS.toNanos(reportSecs), duration - (System.nanoTime() - start));
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            long now = System.nanoTime();
+            long accepted = submitted.sum();
+            long attempts = accepted + rejected.sum();
+            double secs = seconds(now - lastTime);
+            LatencyHistogram interval = intervalLatencies;
+            intervalLatencies = new LatencyHistogram();
+            report(now - start, (attempts - lastAttempts) / secs, (accepted - lastAccepted) / secs,
+                    "last " + Math.round(secs) + "s", interval, file);
+            lastAttempts = attempts;
+            lastAccepted = accepted;
+            lastTime = now;
+        }
+
+        // Wake any donor parked waiting for its next slot so it sees the
+        // flag now instead of when that slot comes round.
+        running = false;
+        for (Thread t : donors) {
+            LockSupport.unpark(t);
+        }
+        for (Thread t : donors) {
+            t.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println();
+        System.out.println("Finished.");
+        long accepted = submitted.sum();
+        double secs = seconds(elapsed);
+        report(elapsed, (accepted + rejected.sum()) / secs, accepted / secs, "whole run", latencies, file);
+
+        boolean ok = verify();
+        if (!keepFile && !existed) {
+            file.delete();
+        }
+        return ok;
+    }
+
+    // Each donor is given a fixed slot in the overall schedule. Latency is
+    // measured from when the donation was due, not when it actually started,
+    // so a stalled write also counts against the donations queued behind it.
+    // Only saved donations are timed; rejected ones never touch the file.
+    private void donorLoop(DonationFiler store, int id, long start) {
+        Random rng = new Random(id);
+        long period = rate == 0 ? 0 : (long) (threads * 1e9 / rate);
+        long due = start + (long) ((double) period * id / threads);
+
+        while (running) {
+            if (period > 0) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+            } else {
+                due = System.nanoTime();
+            }
+
+            // Amounts are whole cents, like a user would type, with the
+            // odd invalid one mixed in.
+            long cents = rng.nextInt(50000) - 500;
+            String typed = BigDecimal.valueOf(cents, 2).toPlainString();
+            String name = NAMES[rng.nextInt(NAMES.length)];
+
+            if (store.donate(name, typed) != null) {
+                long latency = System.nanoTime() - due;
+                latencies.record(latency);
+                intervalLatencies.record(latency);
+                submitted.increment();
+                submittedCents.add(cents);
+            } else {
+                rejected.increment();
+            }
+            due += period;
+        }
+    }
+
+    private void report(long elapsedNanos, double attemptsPerSecond, double savedPerSecond,
+                        String window, LatencyHistogram lat, File file) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+
+        System.out.printf(
+                "[%6.0fs] saved=%d rejected=%d attempts=%.1f/s saved=%.1f/s | latency us (%s) p50=%d p90=%d p99=%d p99.9=%d max=%d"
+                        + " | heap=%dMB/%dMB gc=%d (%d ms) | file=%dKB%n",
+                seconds(elapsedNanos), submitted.sum(), rejected.sum(), attemptsPerSecond, savedPerSecond,
+                window, lat.percentile(50) / 1000, lat.percentile(90) / 1000,
+                lat.percentile(99) / 1000, lat.percentile(99.9) / 1000,
+                lat.max() / 1000,
+                heap.getUsed() >> 20, heap.getCommitted() >> 20,
+                gcCount, gcMillis, file.length() >> 10);
+    }
+
+    // Read the file back one line at a time (loadAll would hold every
+    // donation from a long run in memory) and compare it to what we sent.
+    private boolean verify() {
+        long count = 0;
+        long cents = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!line.isBlank()) {
+                    cents += Math.round(Donation.fromString(line).getAmount() * 100);
+                    count++;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error reading donations back: " + e.getMessage());
+            return false;
+        }
+
+        long expectedCount = submitted.sum();
+        long expectedCents = submittedCents.sum();
+        System.out.printf("Submitted %d donations totalling %s, file has %d totalling %s%n",
+                expectedCount, dollars(expectedCents), count, dollars(cents));
+
+        boolean ok = count == expectedCount && cents == expectedCents;
+        System.out.println(ok ? "PASS: saved total matches." : "FAIL: saved total does not match.");
+        return ok;
+    }
+
+    private static String dollars(long cents) {
+        return String.format("$%d.%02d", cents / 100, cents % 100);
+    }
+
+    private static double seconds(long nanos) {
+        return Math.max(nanos, 1) / 1e9;
+    }
+
+    /**
+     * Fixed-size latency histogram so memory stays flat however long the
+     * soak runs. Buckets split each power of two into 8 steps, which keeps
+     * every reading within about 12% of its real value.
+     */
+    static class LatencyHistogram {
+        private static final int SUB_BUCKETS = 8;
+        private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+        private final LongAdder total = new LongAdder();
+        private volatile long max;
+
+        void record(long nanos) {
+            long v = Math.max(nanos, 1);
+            counts.incrementAndGet(indexOf(v));
+            total.increment();
+            if (v > max) {
+                synchronized (this) {
+                    if (v > max) max = v;
+                }
+            }
+        }
+
+        long max() {
+            return max;
+        }
+
+        // Upper bound of the bucket holding the given percentile.
+        long percentile(double p) {
+            long n = total.sum();
+            if (n == 0) return 0;
+            long target = (long) Math.ceil(n * p / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= target) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        static int indexOf(long v) {
+            int magnitude = 63 - Long.numberOfLeadingZeros(v);
+            if (magnitude < 3) {
+                return (int) v;
+            }
+            int sub = (int) ((v >>> (magnitude - 3)) & (SUB_BUCKETS - 1));
+            return magnitude * SUB_BUCKETS + sub;
+        }
+
+        static long upperBound(int index) {
+            int magnitude = index / SUB_BUCKETS;
+            int sub = index % SUB_BUCKETS;
+            if (magnitude < 3) {
+                return index;
+            }
+            long step = 1L << (magnitude - 3);
+            return (1L << magnitude) + (sub + 1) * step - 1;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the latency histogram in DonationSoak
+ */
+class DonationSoakTest {
+
+    @Test
+    @DisplayName("Values below 8 get their own exact bucket")
+    void testSmallValuesExact() {
+        for (long v = 1; v < 8; v++) {
+            assertEquals(v, DonationSoak.LatencyHistogram.upperBound(
+                    DonationSoak.LatencyHistogram.indexOf(v)));
+        }
+    }
+
+    @Test
+    @DisplayName("Bucket edges at 7, 8, 15 and 16")
+    void testBucketEdges() {
+        int i7 = DonationSoak.LatencyHistogram.indexOf(7);
+        int i8 = DonationSoak.LatencyHistogram.indexOf(8);
+        int i15 = DonationSoak.LatencyHistogram.indexOf(15);
+        int i16 = DonationSoak.LatencyHistogram.indexOf(16);
+
+        assertTrue(i7 < i8);
+        assertTrue(i8 < i15);
+        assertTrue(i15 < i16);
+        assertEquals(8, DonationSoak.LatencyHistogram.upperBound(i8));
+        assertEquals(15, DonationSoak.LatencyHistogram.upperBound(i15));
+        assertEquals(17, DonationSoak.LatencyHistogram.upperBound(i16));
+    }
+
+    @Test
+    @DisplayName("Large values stay within 12.5% of the bucket bound")
+    void testLargeValuesErrorBound() {
+        long[] values = {100, 1_000, 123_456, 1_000_000_000L, 86_400_000_000_000L, Long.MAX_VALUE};
+        for (long v : values) {
+            long upper = DonationSoak.LatencyHistogram.upperBound(
+                    DonationSoak.LatencyHistogram.indexOf(v));
+            assertTrue(upper >= v, "bound below value " + v);
+            assertTrue(upper - v <= v / 8, "bound too far from value " + v);
+        }
+    }
+
+    @Test
+    @DisplayName("Empty histogram reports zero")
+    void testEmptyPercentile() {
+        DonationSoak.LatencyHistogram h = new DonationSoak.LatencyHistogram();
+        assertEquals(0, h.percentile(50));
+        assertEquals(0, h.max());
+    }
+
+    @Test
+    @DisplayName("Percentiles pick the right bucket")
+    void testPercentileSelection() {
+        DonationSoak.LatencyHistogram h = new DonationSoak.LatencyHistogram();
+        for (long v = 1; v <= 100; v++) {
+            h.record(v);
+        }
+
+        assertEquals(1, h.percentile(1));
+        long p50 = h.percentile(50);
+        assertTrue(p50 >= 50 && p50 <= 50 + 50 / 8, "p50 was " + p50);
+        long p90 = h.percentile(90);
+        assertTrue(p90 >= 90 && p90 <= 90 + 90 / 8, "p90 was " + p90);
+        assertEquals(100, h.percentile(100));
+        assertEquals(100, h.max());
+    }
+
+    @Test
+    @DisplayName("Zero and negative readings count as 1")
+    void testNonPositiveRecorded() {
+        DonationSoak.LatencyHistogram h = new DonationSoak.LatencyHistogram();
+        h.record(0);
+        h.record(-5);
+        assertEquals(1, h.percentile(100));
+    }
+}